@@ -1,8 +1,43 @@
 // Kingdom Simulation - Main class
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
 import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class KingdomSimulation {
     public static void main(String[] args) {
+        // Optional modes: --actors runs the lock-free actor simulation,
+        // --benchmark compares its throughput against the locked design,
+        // --what-if forks a war in progress into many branches
+        if (args.length > 0 && args[0].equals("--actors")) {
+            runActorMode();
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--benchmark")) {
+            ActorBenchmark.run(args);
+            return;
+        }
+        if (args.length > 0 && args[0].equals("--what-if")) {
+            WhatIf.run(args);
+            return;
+        }
+
         // Create two kingdoms
         Kingdom kingdom1 = new Kingdom("Kingdom 1");
         Kingdom kingdom2 = new Kingdom("Kingdom 2");
@@ -32,23 +67,86 @@ public class KingdomSimulation {
             e.printStackTrace();
         }
     }
+
+    // Same simulation, but each kingdom is an actor and all of them share a small carrier pool
+    private static void runActorMode() {
+        ScheduledExecutorService carriers = Actor.newCarrierPool(2);
+
+        KingdomActor kingdom1 = new KingdomActor(new Kingdom("Kingdom 1", true), carriers, true);
+        KingdomActor kingdom2 = new KingdomActor(new Kingdom("Kingdom 2", true), carriers, true);
+
+        kingdom1.start();
+        kingdom2.start();
+
+        WarActor war = new WarActor(kingdom1, kingdom2, carriers, true);
+        war.startWar();
+
+        try {
+            war.waitForEnd();
+
+            // After the war ends, give a short time to see final state
+            Thread.sleep(3000);
+
+            kingdom1.stop();
+            kingdom2.stop();
+            war.endWar();
+
+            System.out.println("Simulation ended.");
+        } catch (InterruptedException e) {
+            e.printStackTrace();
+        } finally {
+            carriers.shutdown();
+        }
+    }
+}
+
+// Log class - simulation output, which benchmarks switch off entirely
+class Log {
+    private static volatile boolean enabled = true;
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        Log.enabled = enabled;
+    }
+
+    public static void println(String message) {
+        if (enabled) {
+            System.out.println(message);
+        }
+    }
+
+    public static void println() {
+        if (enabled) {
+            System.out.println();
+        }
+    }
 }
 
 // Kingdom class - represents a kingdom with all its entities
 class Kingdom {
     private String name;
-    private boolean running = true;
-    private Random random = new Random(); // Add random generator
+    private volatile boolean running = true;
+    private Random random; // Add random generator
+
+    // In actor mode the kingdom is owned by one KingdomActor and takes no locks
+    private final boolean actorMode;
+    private final StepJournal journal;
+
+    // Actor-mode resource amounts, one slot per resource
+    private final int[] amounts;
 
     // Resources
-    private Resource coal = new Resource("Coal", 0);
-    private Resource ore = new Resource("Ore", 0);
-    private Resource metal = new Resource("Metal", 0);
-    private Resource weapons = new Resource("Weapons", 0);
-    private Resource jewelry = new Resource("Jewelry", 0);
-    private Resource food = new Resource("Food", 0);
-    private Resource happiness = new Resource("Happiness", 0);
-    private Resource tactics = new Resource("Tactics", 0);
+    private Resource coal;
+    private Resource ore;
+    private Resource metal;
+    private Resource weapons;
+    private Resource jewelry;
+    private Resource food;
+    private Resource happiness;
+    private Resource tactics;
 
     // Combat strength represents the kingdom's military power
     private int combatStrength = 0;
@@ -62,11 +160,41 @@ class Kingdom {
     private Army army;
     private Jeweler jeweler;
 
+    // All entities, in the order they are stepped
+    private Entity[] entities;
+
     // List of all entity threads
     private Thread[] entityThreads;
 
     public Kingdom(String name) {
+        this(name, false);
+    }
+
+    public Kingdom(String name, boolean actorMode) {
+        this(name, actorMode, new Random(), actorMode ? new int[8] : null);
+    }
+
+    // Actor-mode kingdom whose entities all draw from the given seed, for reproducible runs
+    public static Kingdom seededActor(String name, long seed) {
+        return new Kingdom(name, true, new Random(seed), new int[8]);
+    }
+
+    private Kingdom(String name, boolean actorMode, Random random, int[] amounts) {
         this.name = name;
+        this.actorMode = actorMode;
+        this.random = random;
+        this.journal = actorMode ? new StepJournal() : null;
+        this.amounts = amounts;
+
+        // Create resources
+        coal = newResource("Coal", 0);
+        ore = newResource("Ore", 1);
+        metal = newResource("Metal", 2);
+        weapons = newResource("Weapons", 3);
+        jewelry = newResource("Jewelry", 4);
+        food = newResource("Food", 5);
+        happiness = newResource("Happiness", 6);
+        tactics = newResource("Tactics", 7);
 
         // Create entities
         mine = new Mine(this, coal, ore);
@@ -75,7 +203,17 @@ class Kingdom {
         jeweler = new Jeweler(this, ore, jewelry);
         princess = new Princess(this, jewelry, happiness);
         king = new King(this, happiness, tactics);
-        army = new Army(this, weapons, food, tactics);
+        army = actorMode ?
+                new ActorArmy(this, weapons, food, tactics) :
+                new Army(this, weapons, food, tactics);
+
+        entities = new Entity[] { mine, blacksmith, farm, jeweler, princess, king, army };
+
+        // An actor-mode kingdom runs its entities as steps, so it needs no threads
+        if (actorMode) {
+            entityThreads = new Thread[0];
+            return;
+        }
 
         // Create threads for all entities
         entityThreads = new Thread[] {
@@ -89,12 +227,31 @@ class Kingdom {
         };
     }
 
+    private Resource newResource(String resourceName, int slot) {
+        return actorMode ?
+                new ActorResource(resourceName, journal, amounts, slot) :
+                new Resource(resourceName, 0);
+    }
+
+    // Copy of an actor-mode kingdom for a forked world: resource amounts, combat strength
+    // and army state, with fresh entities drawing from the given seed.
+    // Must be called between steps, by the thread that owns the kingdom.
+    public Kingdom fork(long seed) {
+        if (!actorMode) {
+            throw new IllegalStateException("Only actor-mode kingdoms can be forked");
+        }
+        Kingdom copy = new Kingdom(name, true, new Random(seed), amounts.clone());
+        copy.combatStrength = combatStrength;
+        ((ActorArmy) copy.army).copyStateFrom((ActorArmy) army);
+        return copy;
+    }
+
     public String getName() {
         return name;
     }
 
     public void startSimulation() {
-        System.out.println(name + " simulation started.");
+        Log.println(name + " simulation started.");
         for (Thread t : entityThreads) {
             t.start();
         }
@@ -120,6 +277,11 @@ class Kingdom {
     }
 
     public void increaseCombatStrength(int amount) {
+        if (actorMode) {
+            // Only the owning actor touches the kingdom, no lock needed
+            combatStrength += amount;
+            return;
+        }
         synchronized (this) {
             combatStrength += amount;
         }
@@ -129,6 +291,54 @@ class Kingdom {
         return army;
     }
 
+    public Entity[] getEntities() {
+        return entities;
+    }
+
+    public StepJournal getJournal() {
+        return journal;
+    }
+
+    // Resource with the given name, ignoring case, or null if the kingdom has none
+    public Resource getResource(String resourceName) {
+        for (Resource resource : new Resource[] { coal, ore, metal, weapons, jewelry, food, happiness, tactics }) {
+            if (resource.getName().equalsIgnoreCase(resourceName)) {
+                return resource;
+            }
+        }
+        return null;
+    }
+
+    // Delivers resources from outside between entity steps. In actor mode only the owning
+    // actor may call this, so it can wake entities waiting for them.
+    public void receiveSupply(Resource resource, int amount) {
+        Log.println(name + " receives a supply of " + amount + " " + resource.getName() + "!");
+        resource.produce(amount, name);
+        if (journal != null) {
+            journal.commit();
+        }
+    }
+
+    // Seed for an entity's own random generator
+    long nextSeed() {
+        return random.nextLong();
+    }
+
+    // Entity message. In actor mode it joins the current step, so it prints in order with
+    // the step's resource changes and is dropped if the step blocks.
+    public void log(String message) {
+        if (journal != null) {
+            journal.note(message);
+        } else {
+            Log.println(message);
+        }
+    }
+
+    // Restarts the kingdom's random generator, so an actor can replay a step's draws
+    void reseed(long seed) {
+        random.setSeed(seed);
+    }
+
     // Added method to get a random number
     public int getRandomNumber(int min, int max) {
         return random.nextInt(max - min + 1) + min;
@@ -152,7 +362,9 @@ class Resource {
     // Synchronized method to produce resources
     public synchronized void produce(int count, String producer) {
         amount += count;
-        System.out.println(producer + " produced " + count + " " + name + ". Total: " + amount);
+        if (Log.isEnabled()) {
+            Log.println(producer + " produced " + count + " " + name + ". Total: " + amount);
+        }
         // Notify all waiting consumers
         notifyAll();
     }
@@ -162,7 +374,9 @@ class Resource {
         // Wait until enough resources are available
         while (amount < count) {
             try {
-                System.out.println(consumer + " is waiting for " + count + " " + name + ". Available: " + amount);
+                if (Log.isEnabled()) {
+                    Log.println(consumer + " is waiting for " + count + " " + name + ". Available: " + amount);
+                }
                 wait();
             } catch (InterruptedException e) {
                 return false;
@@ -171,7 +385,9 @@ class Resource {
 
         // Consume resources
         amount -= count;
-        System.out.println(consumer + " consumed " + count + " " + name + ". Remaining: " + amount);
+        if (Log.isEnabled()) {
+            Log.println(consumer + " consumed " + count + " " + name + ". Remaining: " + amount);
+        }
         return true;
     }
 
@@ -180,15 +396,170 @@ class Resource {
     }
 }
 
+// ActorResource class - an unlocked resource owned by a single kingdom actor.
+// Instead of waiting, a consume that cannot be met aborts the current step.
+class ActorResource extends Resource {
+    private final StepJournal journal;
+    private final int[] amounts;
+    private final int slot;
+
+    public ActorResource(String name, StepJournal journal, int[] amounts, int slot) {
+        super(name, 0);
+        this.journal = journal;
+        this.amounts = amounts;
+        this.slot = slot;
+    }
+
+    @Override
+    public void produce(int count, String producer) {
+        amounts[slot] += count;
+        journal.record(this, count, producer);
+    }
+
+    @Override
+    public boolean consume(int count, String consumer) {
+        if (amounts[slot] < count) {
+            // The actor rolls the step back and retries it on a later tick
+            if (Log.isEnabled()) {
+                journal.waiting(consumer + " is waiting for " + count + " " + getName() + ". Available: " + amounts[slot]);
+            }
+            throw StepBlockedException.INSTANCE;
+        }
+
+        amounts[slot] -= count;
+        journal.record(this, -count, consumer);
+        return true;
+    }
+
+    @Override
+    public int getAmount() {
+        return amounts[slot];
+    }
+
+    void revert(int change) {
+        amounts[slot] -= change;
+    }
+}
+
+// StepJournal class - records the resource changes and messages of one entity step,
+// so a step that runs out of resources halfway can be undone
+class StepJournal {
+    // One entry per change or message, in program order. A message has no resource
+    // and keeps its whole text in entityNames.
+    private final List<ActorResource> resources = new ArrayList<>();
+    private final List<Integer> changes = new ArrayList<>();
+    private final List<String> entityNames = new ArrayList<>();
+    private String waiting;
+
+    public void record(ActorResource resource, int change, String entityName) {
+        resources.add(resource);
+        changes.add(change);
+        entityNames.add(entityName);
+    }
+
+    public void note(String message) {
+        if (Log.isEnabled()) {
+            record(null, 0, message);
+        }
+    }
+
+    // What the step is waiting for, reported if this is the first time it blocks
+    public void waiting(String message) {
+        waiting = message;
+    }
+
+    // Step finished, keep its changes and report them. Returns whether it produced anything.
+    // Messages are only built here, so blocked steps cost no string work.
+    public boolean commit() {
+        boolean produced = false;
+        for (int i = 0; i < resources.size(); i++) {
+            if (resources.get(i) != null && changes.get(i) >= 0) {
+                produced = true;
+            }
+        }
+        if (Log.isEnabled()) {
+            report();
+        }
+        clear();
+        return produced;
+    }
+
+    private void report() {
+        int[] totals = new int[resources.size()];
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            // Walk back from the current amount to the total after each change
+            ActorResource resource = resources.get(i);
+            if (resource == null) {
+                continue;
+            }
+            int later = 0;
+            for (int j = i + 1; j < resources.size(); j++) {
+                if (resources.get(j) == resource) {
+                    later += changes.get(j);
+                }
+            }
+            totals[i] = resource.getAmount() - later;
+        }
+
+        for (int i = 0; i < resources.size(); i++) {
+            if (resources.get(i) == null) {
+                Log.println(entityNames.get(i));
+                continue;
+            }
+            int change = changes.get(i);
+            String resourceName = resources.get(i).getName();
+            if (change >= 0) {
+                Log.println(entityNames.get(i) + " produced " + change + " " + resourceName + ". Total: " + totals[i]);
+            } else {
+                Log.println(entityNames.get(i) + " consumed " + (-change) + " " + resourceName + ". Remaining: " + totals[i]);
+            }
+        }
+    }
+
+    // Step blocked, undo its changes in reverse order and drop its messages.
+    // Like a waiting thread, it says what it is waiting for only when it first blocks.
+    public void rollback(boolean firstBlock) {
+        for (int i = resources.size() - 1; i >= 0; i--) {
+            if (resources.get(i) != null) {
+                resources.get(i).revert(changes.get(i));
+            }
+        }
+        if (firstBlock && waiting != null) {
+            Log.println(waiting);
+        }
+        clear();
+    }
+
+    private void clear() {
+        resources.clear();
+        changes.clear();
+        entityNames.clear();
+        waiting = null;
+    }
+}
+
+// Thrown by ActorResource when a step needs more than is available.
+// Shared and stackless, since it is control flow rather than an error.
+class StepBlockedException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    static final StepBlockedException INSTANCE = new StepBlockedException();
+
+    private StepBlockedException() {
+        super("Not enough resources for this step", null, false, false);
+    }
+}
+
 // Base class for all entities in the kingdom
 abstract class Entity implements Runnable {
     protected Kingdom kingdom;
     protected String entityName;
-    protected Random random = new Random(); // Add random generator
+    protected Random random; // Add random generator
 
     public Entity(Kingdom kingdom, String entityName) {
         this.kingdom = kingdom;
         this.entityName = kingdom.getName() + " " + entityName;
+        this.random = new Random(kingdom.nextSeed());
     }
 
     @Override
@@ -199,25 +570,35 @@ abstract class Entity implements Runnable {
                 performAction();
 
                 // Sleep to simulate production time with random variation
-                long baseTime = getProductionTime();
-                long randomVariation = (long)(baseTime * 0.5 * random.nextDouble()); // Up to 50% random variation
-                boolean faster = random.nextBoolean();
-                long actualTime = faster ?
-                        baseTime - randomVariation : // Faster production
-                        baseTime + randomVariation;  // Slower production
-
-                Thread.sleep(Math.max(500, actualTime)); // Minimum 0.5 seconds
+                Thread.sleep(nextDelay());
             }
         } catch (InterruptedException e) {
             // Thread was interrupted, exit gracefully
         }
     }
 
+    // Time until the next production cycle, with random variation
+    protected long nextDelay() {
+        long baseTime = getProductionTime();
+        long randomVariation = (long)(baseTime * 0.5 * random.nextDouble()); // Up to 50% random variation
+        boolean faster = random.nextBoolean();
+        long actualTime = faster ?
+                baseTime - randomVariation : // Faster production
+                baseTime + randomVariation;  // Slower production
+
+        return Math.max(500, actualTime); // Minimum 0.5 seconds
+    }
+
     // Main action method to be implemented by each entity
     protected abstract void performAction() throws InterruptedException;
 
     // Production time in milliseconds
     protected abstract long getProductionTime();
+
+    // Restarts the entity's random generator, so an actor can replay a step's draws
+    void reseed(long seed) {
+        random.setSeed(seed);
+    }
 }
 
 // Mine produces coal and ore
@@ -309,11 +690,11 @@ class Farm extends Entity {
         if (harvestLuck < 0.1) {
             // Poor harvest (10% chance)
             actualProduction = Math.max(1, baseProduction / 2);
-            System.out.println(entityName + " experienced a poor harvest!");
+            kingdom.log(entityName + " experienced a poor harvest!");
         } else if (harvestLuck > 0.9) {
             // Bumper crop (10% chance)
             actualProduction = baseProduction * 2;
-            System.out.println(entityName + " experienced a bumper crop!");
+            kingdom.log(entityName + " experienced a bumper crop!");
         } else {
             // Normal harvest (80% chance)
             actualProduction = baseProduction;
@@ -352,7 +733,7 @@ class Jeweler extends Entity {
                     1; // Standard yield
 
             if (highQualityWork) {
-                System.out.println(entityName + " created high-quality jewelry!");
+                kingdom.log(entityName + " created high-quality jewelry!");
             }
 
             jewelry.produce(jewelryProduced, entityName);
@@ -384,10 +765,10 @@ class Princess extends Entity {
             int moodFactor = kingdom.getRandomNumber(1, 5);
 
             if (moodFactor == 5) {
-                System.out.println(entityName + " is in an excellent mood today!");
+                kingdom.log(entityName + " is in an excellent mood today!");
                 happiness.produce(5, entityName);
             } else if (moodFactor == 1) {
-                System.out.println(entityName + " is in a poor mood today.");
+                kingdom.log(entityName + " is in a poor mood today.");
                 happiness.produce(1, entityName);
             } else {
                 happiness.produce(moodFactor, entityName);
@@ -426,7 +807,7 @@ class King extends Entity {
             if (inspiration > 0.9) {
                 // Brilliant strategy (10% chance)
                 tacticsProduced = 3;
-                System.out.println(entityName + " had a brilliant strategic insight!");
+                kingdom.log(entityName + " had a brilliant strategic insight!");
             } else if (inspiration < 0.2) {
                 // Basic strategy (20% chance)
                 tacticsProduced = 1;
@@ -450,8 +831,8 @@ class Army extends Entity {
     private Resource weapons;
     private Resource food;
     private Resource tactics;
-    private int strength = 0;
-    private boolean defeated = false;
+    protected int strength = 0;
+    protected boolean defeated = false;
 
     public Army(Kingdom kingdom, Resource weapons, Resource food, Resource tactics) {
         super(kingdom, "Army");
@@ -482,11 +863,13 @@ class Army extends Entity {
             int actualIncrease = (int)(baseIncrease * trainingEffectiveness);
 
             if (trainingEffectiveness > 1.1) {
-                System.out.println(entityName + " had an excellent training session!");
+                kingdom.log(entityName + " had an excellent training session!");
             }
 
             increaseStrength(actualIncrease);
-            System.out.println(entityName + " increased strength by " + actualIncrease + " to " + strength);
+            if (Log.isEnabled()) {
+                kingdom.log(entityName + " increased strength by " + actualIncrease + " to " + strength);
+            }
             kingdom.increaseCombatStrength(actualIncrease);
         }
     }
@@ -517,6 +900,45 @@ class Army extends Entity {
     }
 }
 
+// ActorArmy class - an army owned by a single kingdom actor.
+// Only the owning actor reads or writes it, so none of the accessors lock.
+class ActorArmy extends Army {
+    public ActorArmy(Kingdom kingdom, Resource weapons, Resource food, Resource tactics) {
+        super(kingdom, weapons, food, tactics);
+    }
+
+    @Override
+    public void increaseStrength(int amount) {
+        strength += amount;
+    }
+
+    @Override
+    public void reduceStrength(int amount) {
+        strength = Math.max(0, strength - amount);
+    }
+
+    @Override
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public void setDefeated(boolean defeated) {
+        this.defeated = defeated;
+    }
+
+    @Override
+    public boolean isDefeated() {
+        return defeated;
+    }
+
+    // Used when forking a kingdom
+    void copyStateFrom(ActorArmy other) {
+        strength = other.strength;
+        defeated = other.defeated;
+    }
+}
+
 // War class to manage the war between two kingdoms
 class War implements Runnable {
     private Kingdom kingdom1;
@@ -535,7 +957,7 @@ class War implements Runnable {
     public void startWar() {
         warActive = true;
         warThread.start();
-        System.out.println("WAR STARTED between " + kingdom1.getName() + " and " + kingdom2.getName());
+        Log.println("WAR STARTED between " + kingdom1.getName() + " and " + kingdom2.getName());
     }
 
     public void endWar() {
@@ -567,7 +989,7 @@ class War implements Runnable {
                 // Check if one kingdom has been defeated
                 if (kingdom1.getArmy().isDefeated() || kingdom2.getArmy().isDefeated()) {
                     String winner = kingdom1.getArmy().isDefeated() ? kingdom2.getName() : kingdom1.getName();
-                    System.out.println("WAR ENDED! " + winner + " has WON THE WAR!");
+                    Log.println("WAR ENDED! " + winner + " has WON THE WAR!");
                     synchronized (this) {
                         warEnded = true;
                         notifyAll(); // Notify any threads waiting for the war to end
@@ -593,9 +1015,31 @@ class War implements Runnable {
         int army1Strength = kingdom1.getArmy().getStrength();
         int army2Strength = kingdom2.getArmy().getStrength();
 
-        System.out.println("\nBATTLE REPORT:");
-        System.out.println(kingdom1.getName() + " combat strength: " + strength1 + " (Army strength: " + army1Strength + ")");
-        System.out.println(kingdom2.getName() + " combat strength: " + strength2 + " (Army strength: " + army2Strength + ")");
+        BattleOutcome outcome = fight(random,
+                kingdom1.getName(), strength1, army1Strength,
+                kingdom2.getName(), strength2, army2Strength);
+
+        // Apply the outcome to both armies
+        kingdom1.getArmy().reduceStrength(outcome.damageTo1);
+        kingdom2.getArmy().reduceStrength(outcome.damageTo2);
+        if (outcome.defeated1) {
+            kingdom1.getArmy().setDefeated(true);
+        }
+        if (outcome.defeated2) {
+            kingdom2.getArmy().setDefeated(true);
+        }
+    }
+
+    // Resolves and reports one battle from a snapshot of both sides.
+    // Shared with WarActor, which applies the outcome through messages.
+    static BattleOutcome fight(Random random,
+                               String name1, int strength1, int army1Strength,
+                               String name2, int strength2, int army2Strength) {
+        BattleOutcome outcome = new BattleOutcome();
+
+        Log.println("\nBATTLE REPORT:");
+        Log.println(name1 + " combat strength: " + strength1 + " (Army strength: " + army1Strength + ")");
+        Log.println(name2 + " combat strength: " + strength2 + " (Army strength: " + army2Strength + ")");
 
         // Add random battle factors (luck, terrain advantage, etc.)
         double battleFactor1 = 0.8 + random.nextDouble() * 0.4; // 80-120% effectiveness
@@ -607,18 +1051,18 @@ class War implements Runnable {
 
         // Report on random factors
         if (battleFactor1 > 1.1) {
-            System.out.println(kingdom1.getName() + " has favorable battle conditions! (+" +
+            Log.println(name1 + " has favorable battle conditions! (+" +
                     String.format("%.1f", (battleFactor1 - 1) * 100) + "%)");
         } else if (battleFactor1 < 0.9) {
-            System.out.println(kingdom1.getName() + " has unfavorable battle conditions! (-" +
+            Log.println(name1 + " has unfavorable battle conditions! (-" +
                     String.format("%.1f", (1 - battleFactor1) * 100) + "%)");
         }
 
         if (battleFactor2 > 1.1) {
-            System.out.println(kingdom2.getName() + " has favorable battle conditions! (+" +
+            Log.println(name2 + " has favorable battle conditions! (+" +
                     String.format("%.1f", (battleFactor2 - 1) * 100) + "%)");
         } else if (battleFactor2 < 0.9) {
-            System.out.println(kingdom2.getName() + " has unfavorable battle conditions! (-" +
+            Log.println(name2 + " has unfavorable battle conditions! (-" +
                     String.format("%.1f", (1 - battleFactor2) * 100) + "%)");
         }
 
@@ -627,65 +1071,852 @@ class War implements Runnable {
             int baseDamage = (adjustedStrength1 - adjustedStrength2) / 2;
             int actualDamage = baseDamage + random.nextInt(baseDamage / 2 + 1); // Add randomness to damage
 
-            System.out.println(kingdom1.getName() + " won the battle and dealt " + actualDamage + " damage!");
+            Log.println(name1 + " won the battle and dealt " + actualDamage + " damage!");
 
             // Reduce the opponent's strength
-            kingdom2.getArmy().reduceStrength(actualDamage);
-            System.out.println(kingdom2.getName() + " army strength reduced to: " + kingdom2.getArmy().getStrength());
+            outcome.damageTo2 = actualDamage;
+            int remaining = Math.max(0, army2Strength - actualDamage);
+            Log.println(name2 + " army strength reduced to: " + remaining);
 
             // Random chance for critical defeat
             boolean criticalDefeat = random.nextDouble() < 0.15; // 15% chance
 
             // If damage is significant, army strength is too low, or critical defeat, mark as defeated
-            if (actualDamage > 20 || kingdom2.getArmy().getStrength() <= 0 ||
-                    (criticalDefeat && kingdom2.getArmy().getStrength() < 15)) {
-                kingdom2.getArmy().setDefeated(true);
+            if (actualDamage > 20 || remaining <= 0 ||
+                    (criticalDefeat && remaining < 15)) {
+                outcome.defeated2 = true;
                 if (criticalDefeat) {
-                    System.out.println(kingdom2.getName() + " suffered a CRITICAL DEFEAT!");
+                    Log.println(name2 + " suffered a CRITICAL DEFEAT!");
                 }
-                System.out.println(kingdom2.getName() + " ARMY HAS BEEN DEFEATED!");
+                Log.println(name2 + " ARMY HAS BEEN DEFEATED!");
             }
         } else if (adjustedStrength2 > adjustedStrength1) {
             int baseDamage = (adjustedStrength2 - adjustedStrength1) / 2;
             int actualDamage = baseDamage + random.nextInt(baseDamage / 2 + 1); // Add randomness to damage
 
-            System.out.println(kingdom2.getName() + " won the battle and dealt " + actualDamage + " damage!");
+            Log.println(name2 + " won the battle and dealt " + actualDamage + " damage!");
 
             // Reduce the opponent's strength
-            kingdom1.getArmy().reduceStrength(actualDamage);
-            System.out.println(kingdom1.getName() + " army strength reduced to: " + kingdom1.getArmy().getStrength());
+            outcome.damageTo1 = actualDamage;
+            int remaining = Math.max(0, army1Strength - actualDamage);
+            Log.println(name1 + " army strength reduced to: " + remaining);
 
             // Random chance for critical defeat
             boolean criticalDefeat = random.nextDouble() < 0.10; // 15% chance
 
             // If damage is significant, army strength is too low, or critical defeat, mark as defeated
-            if (actualDamage > 20 || kingdom1.getArmy().getStrength() <= 0 ||
-                    (criticalDefeat && kingdom1.getArmy().getStrength() < 15)) {
-                kingdom1.getArmy().setDefeated(true);
+            if (actualDamage > 20 || remaining <= 0 ||
+                    (criticalDefeat && remaining < 15)) {
+                outcome.defeated1 = true;
                 if (criticalDefeat) {
-                    System.out.println(kingdom1.getName() + " suffered a CRITICAL DEFEAT!");
+                    Log.println(name1 + " suffered a CRITICAL DEFEAT!");
                 }
-                System.out.println(kingdom1.getName() + " ARMY HAS BEEN DEFEATED!");
+                Log.println(name1 + " ARMY HAS BEEN DEFEATED!");
             }
         } else {
             // In case of a draw, add a small random chance for one side to gain advantage
             if (random.nextDouble() < 0.3) { // 30% chance to break the draw
-                String advantagedKingdom = random.nextBoolean() ? kingdom1.getName() : kingdom2.getName();
-                System.out.println("Though evenly matched, " + advantagedKingdom + " gained a slight advantage in the draw!");
+                boolean firstAdvantaged = random.nextBoolean();
+                String advantagedKingdom = firstAdvantaged ? name1 : name2;
+                Log.println("Though evenly matched, " + advantagedKingdom + " gained a slight advantage in the draw!");
 
                 int smallDamage = random.nextInt(5) + 1; // 1-5 damage
 
-                if (advantagedKingdom.equals(kingdom1.getName())) {
-                    kingdom2.getArmy().reduceStrength(smallDamage);
-                    System.out.println(kingdom2.getName() + " army strength reduced to: " + kingdom2.getArmy().getStrength());
+                if (firstAdvantaged) {
+                    outcome.damageTo2 = smallDamage;
+                    Log.println(name2 + " army strength reduced to: " + Math.max(0, army2Strength - smallDamage));
                 } else {
-                    kingdom1.getArmy().reduceStrength(smallDamage);
-                    System.out.println(kingdom1.getName() + " army strength reduced to: " + kingdom1.getArmy().getStrength());
+                    outcome.damageTo1 = smallDamage;
+                    Log.println(name1 + " army strength reduced to: " + Math.max(0, army1Strength - smallDamage));
+                }
+            } else {
+                Log.println("The battle ended in a draw! Both armies remain at their current strength.");
+            }
+        }
+        Log.println();
+        return outcome;
+    }
+}
+
+// BattleOutcome class - damage and defeat for each side of one battle
+class BattleOutcome {
+    int damageTo1;
+    int damageTo2;
+    boolean defeated1;
+    boolean defeated2;
+}
+
+// Actor base class - owns its state outright and is only ever run by one thread at a time.
+// Turns run on a shared carrier pool, so many actors need only a few threads.
+// Without a pool, the owner calls run() itself, one tick per call when paced.
+abstract class Actor implements Runnable {
+    private static final int MAX_BATCHES_PER_TURN = 16;
+
+    // Unpaced actors run several ticks per turn to amortise the hand-off to the pool
+    private static final int UNPACED_TICKS_PER_TURN = 32;
+
+    private final ScheduledExecutorService carriers;
+    private final long tickMillis;
+    private final boolean paced;
+
+    // Each mailbox entry is a whole batch, so a sender pays one enqueue per batch
+    private final Queue<List<Object>> mailbox = new ConcurrentLinkedQueue<>();
+
+    // Messages posted during a turn, flushed as one batch per receiver when the turn ends
+    private final Map<Actor, List<Object>> outbox = new LinkedHashMap<>();
+
+    // Logical time in milliseconds, advanced by one tick per turn
+    protected long now = 0;
+
+    public Actor(ScheduledExecutorService carriers, long tickMillis, boolean paced) {
+        this.carriers = carriers;
+        this.tickMillis = tickMillis;
+        this.paced = paced;
+    }
+
+    public static ScheduledExecutorService newCarrierPool(int threads) {
+        AtomicInteger count = new AtomicInteger();
+        return new ScheduledThreadPoolExecutor(threads, r -> {
+            Thread t = new Thread(r, "Carrier-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // Send a message from outside any actor turn
+    public void send(Object message) {
+        mailbox.add(Collections.singletonList(message));
+    }
+
+    public void sendBatch(List<Object> messages) {
+        if (!messages.isEmpty()) {
+            mailbox.add(messages);
+        }
+    }
+
+    // Queue a message from inside this actor's turn
+    protected void post(Actor receiver, Object message) {
+        outbox.computeIfAbsent(receiver, a -> new ArrayList<>()).add(message);
+    }
+
+    protected boolean isPaced() {
+        return paced;
+    }
+
+    public boolean hasPendingMessages() {
+        return !mailbox.isEmpty();
+    }
+
+    protected void schedule() {
+        if (carriers == null) {
+            return; // Stepped directly by a World
+        }
+        try {
+            if (paced) {
+                // Paced actors tick in real time, like the threaded simulation
+                carriers.schedule(this, tickMillis, TimeUnit.MILLISECONDS);
+            } else {
+                carriers.execute(this);
+            }
+        } catch (RejectedExecutionException e) {
+            // Carrier pool was shut down, the actor simply stops
+        }
+    }
+
+    @Override
+    public void run() {
+        int ticks = paced ? 1 : UNPACED_TICKS_PER_TURN;
+        for (int tick = 0; tick < ticks && isActive(); tick++) {
+            // Drain a bounded number of batches so one busy actor cannot starve the others
+            for (int i = 0; i < MAX_BATCHES_PER_TURN; i++) {
+                List<Object> batch = mailbox.poll();
+                if (batch == null) {
+                    break;
+                }
+                for (Object message : batch) {
+                    receive(message);
                 }
+            }
+
+            now += tickMillis;
+            onTick();
+        }
+
+        if (!outbox.isEmpty()) {
+            for (Map.Entry<Actor, List<Object>> entry : outbox.entrySet()) {
+                entry.getKey().sendBatch(entry.getValue());
+            }
+            outbox.clear();
+        }
+
+        if (isActive()) {
+            schedule();
+        }
+    }
+
+    protected abstract void receive(Object message);
+
+    protected abstract void onTick();
+
+    protected abstract boolean isActive();
+}
+
+// KingdomActor class - runs a lock-free kingdom, stepping its entities on each tick
+class KingdomActor extends Actor {
+    static final long TICK_MILLIS = 100;
+
+    // Keeps the kingdom's generator apart from the entity's when both are seeded for a step
+    private static final long KINGDOM_SEED_MIX = 0x9E3779B97F4A7C15L;
+
+    private final Kingdom kingdom;
+    private final Entity[] entities;
+    private final long[] dueAt;
+
+    // Counts committed steps that produced something. A blocked entity remembers
+    // the count it blocked at and sleeps until it changes, like wait/notifyAll.
+    private long productions = 0;
+    private final long[] blockedAt;
+
+    // Each step draws its random numbers from its own seed. A blocked step is retried
+    // with the same seed, so it keeps the requirement it is waiting for, as a waiting
+    // thread would, instead of re-rolling until it gets a cheap one.
+    private final Random stepSeeds;
+    private final long[] stepSeed;
+
+    public KingdomActor(Kingdom kingdom, ScheduledExecutorService carriers, boolean paced) {
+        super(carriers, TICK_MILLIS, paced);
+        this.kingdom = kingdom;
+        this.entities = kingdom.getEntities();
+        this.dueAt = new long[entities.length];
+        this.blockedAt = new long[entities.length];
+        Arrays.fill(blockedAt, -1);
+        this.stepSeeds = new Random(kingdom.nextSeed());
+        this.stepSeed = new long[entities.length];
+    }
+
+    public Kingdom getKingdom() {
+        return kingdom;
+    }
+
+    // Copy of this actor for a forked world, stepped by that world rather than a pool.
+    // Only valid between turns with an empty mailbox.
+    public KingdomActor fork(long seed) {
+        KingdomActor copy = new KingdomActor(kingdom.fork(seed), null, true);
+        copy.now = now;
+        copy.productions = productions;
+        System.arraycopy(dueAt, 0, copy.dueAt, 0, dueAt.length);
+        System.arraycopy(blockedAt, 0, copy.blockedAt, 0, blockedAt.length);
+        System.arraycopy(stepSeed, 0, copy.stepSeed, 0, stepSeed.length); // Blocked steps keep their requirement
+        return copy;
+    }
+
+    public void start() {
+        kingdom.startSimulation();
+        schedule();
+    }
+
+    public void stop() {
+        kingdom.endSimulation();
+    }
+
+    @Override
+    protected void receive(Object message) {
+        if (message instanceof StrengthQuery) {
+            StrengthQuery query = (StrengthQuery) message;
+            post(query.replyTo, new StrengthReport(this, query.round,
+                    kingdom.getCombatStrength(), kingdom.getArmy().getStrength()));
+        } else if (message instanceof ApplyDamage) {
+            ApplyDamage damage = (ApplyDamage) message;
+            kingdom.getArmy().reduceStrength(damage.amount);
+            if (damage.defeated) {
+                kingdom.getArmy().setDefeated(true);
+            }
+        } else if (message instanceof Supply) {
+            Supply supply = (Supply) message;
+            kingdom.receiveSupply(kingdom.getResource(supply.resourceName), supply.amount);
+            productions++; // Wakes entities blocked on the resource, like notifyAll
+        }
+    }
+
+    @Override
+    protected void onTick() {
+        for (int i = 0; i < entities.length; i++) {
+            // Unpaced actors step every entity on every turn, for benchmarking
+            if (isPaced() && now < dueAt[i]) {
+                continue;
+            }
+            if (blockedAt[i] == productions) {
+                continue; // Nothing new produced since this entity blocked
+            }
+            if (blockedAt[i] == -1) {
+                stepSeed[i] = stepSeeds.nextLong(); // Fresh step, otherwise a retry
+            }
+            entities[i].reseed(stepSeed[i]);
+            kingdom.reseed(stepSeed[i] ^ KINGDOM_SEED_MIX);
+            if (step(entities[i], blockedAt[i] == -1)) {
+                blockedAt[i] = -1;
+                dueAt[i] = now + entities[i].nextDelay();
             } else {
-                System.out.println("The battle ended in a draw! Both armies remain at their current strength.");
+                blockedAt[i] = productions;
+            }
+        }
+    }
+
+    private boolean step(Entity entity, boolean firstAttempt) {
+        StepJournal journal = kingdom.getJournal();
+        try {
+            entity.performAction();
+            if (journal.commit()) {
+                productions++;
+            }
+            return true;
+        } catch (StepBlockedException | InterruptedException e) {
+            journal.rollback(firstAttempt);
+            return false;
+        }
+    }
+
+    @Override
+    protected boolean isActive() {
+        return kingdom.isRunning();
+    }
+}
+
+// WarActor class - the war between two kingdom actors, driven entirely by messages
+class WarActor extends Actor {
+    private static final long BUILD_UP_MILLIS = 18000;
+
+    private final KingdomActor kingdom1;
+    private final KingdomActor kingdom2;
+    private final Random random;
+    private final CountDownLatch ended = new CountDownLatch(1);
+    private volatile boolean warActive = true;
+    private String winner;
+
+    // Give kingdoms some time to build up before starting battles
+    private long nextBattleAt = BUILD_UP_MILLIS;
+    private int round = 0;
+    private StrengthReport report1;
+    private StrengthReport report2;
+
+    public WarActor(KingdomActor kingdom1, KingdomActor kingdom2,
+                    ScheduledExecutorService carriers, boolean paced) {
+        this(kingdom1, kingdom2, carriers, paced, new Random());
+    }
+
+    public WarActor(KingdomActor kingdom1, KingdomActor kingdom2,
+                    ScheduledExecutorService carriers, boolean paced, Random random) {
+        super(carriers, KingdomActor.TICK_MILLIS, paced);
+        this.kingdom1 = kingdom1;
+        this.kingdom2 = kingdom2;
+        this.random = random;
+    }
+
+    // Copy of this war between forked kingdoms. Only valid between battles,
+    // when no strength reports are outstanding.
+    public WarActor fork(KingdomActor forked1, KingdomActor forked2, long seed) {
+        if (nextBattleAt < 0 || !warActive) {
+            throw new IllegalStateException("War can only be forked between battles");
+        }
+        WarActor copy = new WarActor(forked1, forked2, null, true, new Random(seed));
+        copy.now = now;
+        copy.nextBattleAt = nextBattleAt;
+        copy.round = round;
+        return copy;
+    }
+
+    public int getRound() {
+        return round;
+    }
+
+    // Name of the winning kingdom, or null while the war goes on
+    public String getWinner() {
+        return winner;
+    }
+
+    public long getTime() {
+        return now;
+    }
+
+    public void startWar() {
+        schedule();
+        Log.println("WAR STARTED between " + kingdom1.getKingdom().getName() +
+                " and " + kingdom2.getKingdom().getName());
+    }
+
+    public void endWar() {
+        warActive = false;
+    }
+
+    // Method to wait until war ends naturally
+    public void waitForEnd() throws InterruptedException {
+        ended.await();
+    }
+
+    @Override
+    protected void onTick() {
+        // Ask both kingdoms for their strength once the next battle is due
+        if (nextBattleAt >= 0 && now >= nextBattleAt) {
+            round++;
+            nextBattleAt = -1; // Waiting for reports
+            report1 = null;
+            report2 = null;
+            post(kingdom1, new StrengthQuery(this, round));
+            post(kingdom2, new StrengthQuery(this, round));
+        }
+    }
+
+    @Override
+    protected void receive(Object message) {
+        if (!(message instanceof StrengthReport)) {
+            return;
+        }
+        StrengthReport report = (StrengthReport) message;
+        if (report.round != round) {
+            return; // Stale report from an earlier round
+        }
+        if (report.sender == kingdom1) {
+            report1 = report;
+        } else {
+            report2 = report;
+        }
+        if (report1 != null && report2 != null) {
+            battle();
+        }
+    }
+
+    private void battle() {
+        BattleOutcome outcome = War.fight(random,
+                kingdom1.getKingdom().getName(), report1.combatStrength, report1.armyStrength,
+                kingdom2.getKingdom().getName(), report2.combatStrength, report2.armyStrength);
+
+        post(kingdom1, new ApplyDamage(outcome.damageTo1, outcome.defeated1));
+        post(kingdom2, new ApplyDamage(outcome.damageTo2, outcome.defeated2));
+
+        // Check if one kingdom has been defeated
+        if (outcome.defeated1 || outcome.defeated2) {
+            winner = outcome.defeated1 ? kingdom2.getKingdom().getName() : kingdom1.getKingdom().getName();
+            Log.println("WAR ENDED! " + winner + " has WON THE WAR!");
+            warActive = false;
+            ended.countDown();
+            return;
+        }
+
+        // Wait before next battle with random intervals
+        nextBattleAt = now + 2000 + random.nextInt(2000); // 2-4 seconds between battles
+    }
+
+    @Override
+    protected boolean isActive() {
+        return warActive;
+    }
+}
+
+// Message from the war asking a kingdom for its current strength
+class StrengthQuery {
+    final WarActor replyTo;
+    final int round;
+
+    StrengthQuery(WarActor replyTo, int round) {
+        this.replyTo = replyTo;
+        this.round = round;
+    }
+}
+
+// Reply from a kingdom with a snapshot of its strength
+class StrengthReport {
+    final KingdomActor sender;
+    final int round;
+    final int combatStrength;
+    final int armyStrength;
+
+    StrengthReport(KingdomActor sender, int round, int combatStrength, int armyStrength) {
+        this.sender = sender;
+        this.round = round;
+        this.combatStrength = combatStrength;
+        this.armyStrength = armyStrength;
+    }
+}
+
+// Message from the war telling a kingdom the result of a battle
+class ApplyDamage {
+    final int amount;
+    final boolean defeated;
+
+    ApplyDamage(int amount, boolean defeated) {
+        this.amount = amount;
+        this.defeated = defeated;
+    }
+}
+
+// ActorBenchmark class - army strength built per second, locked threads vs kingdom actors.
+// Army strength is the end product of every entity's work, so both designs are
+// judged on the same output. Production delays are skipped and logging is switched
+// off, so neither design pays for building or printing messages.
+class ActorBenchmark {
+    private static final String USAGE = "Usage: java KingdomSimulation --benchmark [seconds] [runs]";
+
+    public static void run(String[] args) {
+        long millis;
+        int runs;
+        try {
+            millis = args.length > 1 ? Long.parseLong(args[1]) * 1000 : 3000;
+            runs = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        } catch (NumberFormatException e) {
+            System.out.println(USAGE);
+            return;
+        }
+        if (millis <= 0 || runs <= 0) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        int carriers = Runtime.getRuntime().availableProcessors();
+        int[] kingdomCounts = { 2, 8, 32, 128 };
+
+        Log.setEnabled(false);
+        try {
+            // Warm up both designs so the first row is not measuring the JIT
+            measureLocked(kingdomCounts[0], millis);
+            measureActors(kingdomCounts[0], carriers, millis);
+
+            System.out.println("Army strength built per second, median (min-max) of " + runs + " runs of " +
+                    millis + " ms, " + carriers + " carrier threads");
+            System.out.printf("%10s %10s %26s %26s %10s%n", "kingdoms", "threads", "locked", "actors", "speedup");
+
+            for (int kingdoms : kingdomCounts) {
+                double[] locked = new double[runs];
+                double[] actors = new double[runs];
+                for (int r = 0; r < runs; r++) {
+                    locked[r] = measureLocked(kingdoms, millis);
+                    actors[r] = measureActors(kingdoms, carriers, millis);
+                }
+                Arrays.sort(locked);
+                Arrays.sort(actors);
+                System.out.printf("%10d %10d %26s %26s %9.2fx%n", kingdoms, kingdoms * 7,
+                        summary(locked), summary(actors), median(actors) / median(locked));
+            }
+        } finally {
+            Log.setEnabled(true);
+        }
+    }
+
+    private static double median(double[] sorted) {
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+
+    private static String summary(double[] sorted) {
+        return String.format("%.0f (%.0f-%.0f)", median(sorted), sorted[0], sorted[sorted.length - 1]);
+    }
+
+    // One thread per entity, sharing synchronized resources as in the normal simulation
+    private static double measureLocked(int kingdoms, long millis) {
+        AtomicBoolean stop = new AtomicBoolean(false);
+        CountDownLatch go = new CountDownLatch(1);
+        List<Kingdom> kingdomList = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int k = 0; k < kingdoms; k++) {
+            Kingdom kingdom = new Kingdom("Kingdom " + (k + 1));
+            kingdomList.add(kingdom);
+            for (Entity entity : kingdom.getEntities()) {
+                threads.add(new Thread(() -> {
+                    try {
+                        go.await();
+                        while (!stop.get()) {
+                            entity.performAction();
+                        }
+                    } catch (InterruptedException e) {
+                        // Benchmark over
+                    }
+                }));
+            }
+        }
+
+        // Start every thread parked, so thread startup is not part of the measurement
+        for (Thread t : threads) {
+            t.start();
+        }
+        long start = System.nanoTime();
+        go.countDown();
+        sleep(millis);
+        stop.set(true);
+        long elapsed = System.nanoTime() - start;
+
+        // Consumers may be parked in wait(), keep interrupting all of them until they notice the stop flag
+        List<Thread> alive = new ArrayList<>(threads);
+        while (!alive.isEmpty()) {
+            for (Thread t : alive) {
+                t.interrupt();
+            }
+            sleep(1);
+            alive.removeIf(t -> !t.isAlive());
+        }
+
+        return totalCombatStrength(kingdomList) * 1e9 / elapsed;
+    }
+
+    // One unpaced actor per kingdom, all sharing the carrier pool
+    private static double measureActors(int kingdoms, int carrierThreads, long millis) {
+        ScheduledExecutorService carriers = Actor.newCarrierPool(carrierThreads);
+        List<Kingdom> kingdomList = new ArrayList<>();
+        List<KingdomActor> actors = new ArrayList<>();
+
+        for (int k = 0; k < kingdoms; k++) {
+            Kingdom kingdom = new Kingdom("Kingdom " + (k + 1), true);
+            kingdomList.add(kingdom);
+            actors.add(new KingdomActor(kingdom, carriers, false));
+        }
+
+        long start = System.nanoTime();
+        for (KingdomActor actor : actors) {
+            actor.start();
+        }
+        sleep(millis);
+        for (KingdomActor actor : actors) {
+            actor.stop();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        // Wait for in-flight turns so the kingdoms can be read safely
+        carriers.shutdown();
+        try {
+            carriers.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        return totalCombatStrength(kingdomList) * 1e9 / elapsed;
+    }
+
+    private static long totalCombatStrength(List<Kingdom> kingdoms) {
+        long total = 0;
+        for (Kingdom kingdom : kingdoms) {
+            total += kingdom.getCombatStrength();
+        }
+        return total;
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
+
+// Message giving a kingdom extra resources from outside, for what-if branches
+class Supply {
+    final String resourceName;
+    final int amount;
+
+    Supply(String resourceName, int amount) {
+        this.resourceName = resourceName;
+        this.amount = amount;
+    }
+}
+
+// World class - two kingdom actors and their war, stepped tick by tick on one thread.
+// A world can be forked into independent branches.
+class World {
+    private final KingdomActor kingdom1;
+    private final KingdomActor kingdom2;
+    private final WarActor war;
+
+    public World(long seed) {
+        Random seeds = new Random(seed);
+        kingdom1 = new KingdomActor(Kingdom.seededActor("Kingdom 1", seeds.nextLong()), null, true);
+        kingdom2 = new KingdomActor(Kingdom.seededActor("Kingdom 2", seeds.nextLong()), null, true);
+        war = new WarActor(kingdom1, kingdom2, null, true, new Random(seeds.nextLong()));
+
+        kingdom1.start();
+        kingdom2.start();
+        war.startWar();
+    }
+
+    private World(KingdomActor kingdom1, KingdomActor kingdom2, WarActor war) {
+        this.kingdom1 = kingdom1;
+        this.kingdom2 = kingdom2;
+        this.war = war;
+    }
+
+    public void tick() {
+        kingdom1.run();
+        kingdom2.run();
+        war.run();
+    }
+
+    public boolean isOver() {
+        return war.getWinner() != null;
+    }
+
+    // Runs until the war is over or the logical clock reaches the limit
+    public void runUntil(long timeMillis) {
+        while (!isOver() && war.getTime() < timeMillis) {
+            tick();
+        }
+    }
+
+    // Runs until the given battle round has started
+    public void runUntilRound(int round) {
+        while (!isOver() && war.getRound() < round) {
+            tick();
+        }
+    }
+
+    // Runs until no messages are in flight, so the world can be forked
+    public void settle() {
+        while (!isOver() && hasPendingMessages()) {
+            tick();
+        }
+    }
+
+    private boolean hasPendingMessages() {
+        return kingdom1.hasPendingMessages() || kingdom2.hasPendingMessages() || war.hasPendingMessages();
+    }
+
+    // New branch from the current state, with its own random seed.
+    // Costs a fresh set of entities and a few ints of state per kingdom.
+    public World fork(long seed) {
+        if (isOver() || hasPendingMessages()) {
+            throw new IllegalStateException("Only a settled world with the war still on can be forked");
+        }
+        Random seeds = new Random(seed);
+        KingdomActor forked1 = kingdom1.fork(seeds.nextLong());
+        KingdomActor forked2 = kingdom2.fork(seeds.nextLong());
+        return new World(forked1, forked2, war.fork(forked1, forked2, seeds.nextLong()));
+    }
+
+    public KingdomActor getKingdomActor1() {
+        return kingdom1;
+    }
+
+    public Kingdom getKingdom1() {
+        return kingdom1.getKingdom();
+    }
+
+    public Kingdom getKingdom2() {
+        return kingdom2.getKingdom();
+    }
+
+    public WarActor getWar() {
+        return war;
+    }
+}
+
+// WhatIf class - forks a war in progress into pairs of branches, one plain and one
+// where Kingdom 1 gets a supply of some resource, and compares how the war turns out.
+// Both branches of a pair use the same seed, so the supply is the only difference.
+class WhatIf {
+    private static final long TIME_LIMIT_MILLIS = 30 * 60 * 1000; // 30 simulated minutes
+    private static final String USAGE = "Usage: java KingdomSimulation --what-if [pairs] [seed] [resource] [amount]";
+
+    public static void run(String[] args) {
+        int pairs;
+        long seed;
+        String resourceName;
+        int amount;
+        try {
+            pairs = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+            seed = args.length > 2 ? Long.parseLong(args[2]) : 42;
+            resourceName = args.length > 3 ? args[3] : "Weapons";
+            amount = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+        } catch (NumberFormatException e) {
+            System.out.println(USAGE);
+            return;
+        }
+        // Every kingdom has the same resources, so a fresh one can check the name
+        if (pairs <= 0 || amount <= 0 || new Kingdom("Kingdom", true).getResource(resourceName) == null) {
+            System.out.println(USAGE);
+            return;
+        }
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        World base;
+        List<String> plainWinners;
+        List<String> suppliedWinners;
+        long forkNanos;
+        long runNanos;
+
+        Log.setEnabled(false);
+        try {
+            // Run a base world into the middle of the war, skipping seeds where the first battle ends it.
+            // The base world and every branch take their seeds from the seed argument.
+            Random seeds = new Random(seed);
+            do {
+                base = new World(seeds.nextLong());
+                base.runUntilRound(1);
+                base.settle();
+            } while (base.isOver());
+
+            long forkStart = System.nanoTime();
+            List<World> plain = new ArrayList<>();
+            List<World> supplied = new ArrayList<>();
+            for (int i = 0; i < pairs; i++) {
+                long branchSeed = seeds.nextLong();
+                plain.add(base.fork(branchSeed));
+                World branch = base.fork(branchSeed);
+                branch.getKingdomActor1().send(new Supply(resourceName, amount));
+                supplied.add(branch);
+            }
+            forkNanos = System.nanoTime() - forkStart;
+
+            // Each branch runs start to finish on one pool thread
+            long runStart = System.nanoTime();
+            plainWinners = runAll(pool, plain);
+            suppliedWinners = runAll(pool, supplied);
+            runNanos = System.nanoTime() - runStart;
+        } finally {
+            Log.setEnabled(true);
+            pool.shutdown();
+        }
+
+        Kingdom kingdom1 = base.getKingdom1();
+        Kingdom kingdom2 = base.getKingdom2();
+        System.out.println("Forked " + (2 * pairs) + " branches at " + (base.getWar().getTime() / 1000) + "s into the war" +
+                " (" + kingdom1.getName() + " strength " + kingdom1.getArmy().getStrength() +
+                ", " + kingdom2.getName() + " strength " + kingdom2.getArmy().getStrength() + ")" +
+                " in " + String.format("%.2f", forkNanos / 1e6) + " ms");
+        System.out.println("Ran them on " + threads + " threads in " + String.format("%.0f", runNanos / 1e6) + " ms");
+        report("Without supply", kingdom1.getName(), plainWinners);
+        report("With " + amount + " " + kingdom1.getResource(resourceName).getName() + " for " + kingdom1.getName(),
+                kingdom1.getName(), suppliedWinners);
+    }
+
+    private static List<String> runAll(ExecutorService pool, List<World> worlds) {
+        List<Future<String>> futures = new ArrayList<>();
+        for (World world : worlds) {
+            futures.add(pool.submit(() -> {
+                world.runUntil(TIME_LIMIT_MILLIS);
+                return world.getWar().getWinner();
+            }));
+        }
+
+        List<String> winners = new ArrayList<>();
+        for (Future<String> future : futures) {
+            try {
+                winners.add(future.get());
+            } catch (InterruptedException | ExecutionException e) {
+                throw new IllegalStateException("Branch failed", e);
+            }
+        }
+        return winners;
+    }
+
+    private static void report(String label, String kingdomName, List<String> winners) {
+        int wins = 0;
+        int undecided = 0;
+        for (String winner : winners) {
+            if (winner == null) {
+                undecided++;
+            } else if (winner.equals(kingdomName)) {
+                wins++;
             }
         }
-        System.out.println();
+        System.out.println(label + ": " + kingdomName + " won " + wins + " of " + winners.size() +
+                " branches (" + undecided + " undecided)");
     }
 }
\ No newline at end of file